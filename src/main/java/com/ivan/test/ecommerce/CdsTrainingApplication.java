@@ -0,0 +1,43 @@
+package com.ivan.test.ecommerce;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * AppCDS training run used by the {@code cdsArchive} task: starts the application, serves one warm-up request
+ * and exits so the JVM dumps the loaded classes. The application itself always starts from {@link EcommerceApplication}.
+ */
+public class CdsTrainingApplication {
+
+	static final String WARM_UP_PATH = "/actuator/health/liveness";
+
+	public static void main(String[] args) throws IOException {
+		final ConfigurableApplicationContext context = SpringApplication.run(EcommerceApplication.class, args);
+		warmUp(context);
+		System.exit(SpringApplication.exit(context));
+	}
+
+	/**
+	 * Lazy beans such as the dispatcher servlet, Jackson and the actuator are only loaded by a first request,
+	 * so one is served before exiting to get their classes into the archive.
+	 */
+	private static void warmUp(final ConfigurableApplicationContext context) throws IOException {
+		final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		final HttpURLConnection connection =
+			(HttpURLConnection) new URL("http://localhost:" + port + WARM_UP_PATH).openConnection();
+		connection.setConnectTimeout(5000);
+		connection.setReadTimeout(30000);
+		try (InputStream response = connection.getInputStream()) {
+			response.readAllBytes();
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+}
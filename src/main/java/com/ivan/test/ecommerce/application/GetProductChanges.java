@@ -0,0 +1,24 @@
+package com.ivan.test.ecommerce.application;
+
+import com.ivan.test.ecommerce.domain.model.ProductChanges;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class GetProductChanges {
+
+    private GetProductsWithStock getProductsWithStock;
+    private ProductChangeHistory productChangeHistory;
+
+    /**
+     * Refreshes the visible product list and returns the added and repositioned products with their positions
+     * and the removed ids since the given epoch and version, or the whole list with its positions when the epoch
+     * is unknown or the version is no longer in the history.
+     * A null epoch always gets the whole list.
+     */
+    public ProductChanges getSince(final String epoch, final long version) {
+        getProductsWithStock.get();
+        return productChangeHistory.getChangesSince(epoch, version);
+    }
+}
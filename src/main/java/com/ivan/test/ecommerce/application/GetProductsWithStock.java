@@ -2,15 +2,20 @@ package com.ivan.test.ecommerce.application;
 
 import com.ivan.test.ecommerce.domain.ProductRepository;
 import com.ivan.test.ecommerce.domain.exception.EcommerceException;
+import com.ivan.test.ecommerce.domain.index.ProductPositionIndex;
 import com.ivan.test.ecommerce.domain.model.Product;
 import com.ivan.test.ecommerce.domain.model.ProductSize;
 import lombok.AllArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -19,19 +24,72 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class GetProductsWithStock {
 
+    private static final Predicate<Product> PRODUCT_WITH_ID_AND_POSITION =
+        product -> product.getProductId() != null && product.getPosition() != null;
     private static final Predicate<Product> PRODUCT_WITH_SIZES =
         product -> product.getSizes() != null && product.getSizes().size() > 0;
     private static final Predicate<ProductSize> SIZE_WITH_STOCK_OR_BACK_SOON_OR_SPECIAL =
             size -> size.getQuantity() > 0 || size.isBackSoon() || size.isSpecial();
 
+    private final ProductPositionIndex positionIndex = new ProductPositionIndex();
+    private final AtomicReference<VisibleProducts> visibleProducts =
+        new AtomicReference<>(new VisibleProducts(Map.of(), List.of()));
+    private final AtomicLong fetchSequence = new AtomicLong();
+    private final AtomicLong appliedSequence = new AtomicLong();
+
     private ProductRepository productRepository;
+    private ProductChangeHistory productChangeHistory;
+
+    /**
+     * The visible products are compared without locking against the last published positions, the lock is only
+     * taken when they differ, to apply the O(log n) per changed product updates to the position index.
+     * Products without id or position are skipped, and when the repository returns the same id twice the last one wins.
+     * Each fetch is stamped with a sequence, a product list fetched before a newer one is dropped
+     * so the index and its history never move backwards.
+     */
     public List<Integer> get() {
-        return getStoredProducts().stream()
+        final long sequence = fetchSequence.incrementAndGet();
+        final Map<Integer, Integer> visiblePositions = getStoredProducts().stream()
+                .filter(PRODUCT_WITH_ID_AND_POSITION)
                 .filter(PRODUCT_WITH_SIZES)
                 .filter(product -> getSizesWithStock(product.getSizes()).size() > 0)
-                .sorted(Comparator.comparing(Product::getPosition))
-                .map(Product::getProductId)
+                .collect(Collectors.toMap(Product::getProductId, Product::getPosition, (first, second) -> second));
+        if (appliedSequence.accumulateAndGet(sequence, Math::max) != sequence) {
+            return visibleProducts.get().getIds();
+        }
+        final VisibleProducts published = visibleProducts.get();
+        if (published.getPositions().equals(visiblePositions)) {
+            return published.getIds();
+        }
+        synchronized (positionIndex) {
+            final VisibleProducts current = visibleProducts.get();
+            if (appliedSequence.get() != sequence) {
+                return current.getIds();
+            }
+            final List<Integer> removed = current.getPositions().keySet().stream()
+                .filter(productId -> !visiblePositions.containsKey(productId))
                 .collect(Collectors.toList());
+            final Map<Integer, Integer> added = new HashMap<>();
+            final Map<Integer, Integer> repositioned = new HashMap<>();
+            visiblePositions.forEach((productId, position) -> {
+                final Integer previousPosition = current.getPositions().get(productId);
+                if (previousPosition == null) {
+                    added.put(productId, position);
+                } else if (!previousPosition.equals(position)) {
+                    repositioned.put(productId, position);
+                }
+            });
+            if (added.isEmpty() && removed.isEmpty() && repositioned.isEmpty()) {
+                return current.getIds();
+            }
+            removed.forEach(positionIndex::remove);
+            added.forEach(positionIndex::put);
+            repositioned.forEach(positionIndex::put);
+            final VisibleProducts next = new VisibleProducts(Map.copyOf(visiblePositions), List.copyOf(positionIndex.ids()));
+            visibleProducts.set(next);
+            productChangeHistory.record(added, removed, repositioned, next.getPositions(), next.getIds());
+            return next.getIds();
+        }
     }
 
     private List<Product> getStoredProducts() {
@@ -51,4 +109,10 @@ public class GetProductsWithStock {
             return Collections.emptyList();
         return processedProducts;
     }
+
+    @Value
+    private static class VisibleProducts {
+        Map<Integer, Integer> positions;
+        List<Integer> ids;
+    }
 }
@@ -0,0 +1,144 @@
+package com.ivan.test.ecommerce.application;
+
+import com.ivan.test.ecommerce.domain.exception.EcommerceException;
+import com.ivan.test.ecommerce.domain.model.ProductChanges;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Versioned history of the visible product list, keeping the last deltas in a bounded ring buffer.
+ * Every recorded change bumps the version. Versions are only meaningful within the epoch of this instance,
+ * requests from another epoch or older than the buffer get a full snapshot.
+ * Added and repositioned products carry their position, so a client can apply the changes to the positions of its
+ * last snapshot and sort them by position and product id to get the current list.
+ */
+@Component
+public class ProductChangeHistory {
+
+    private enum Change { ADDED, REMOVED, REPOSITIONED }
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final Delta[] deltas;
+    private int head;
+    private int size;
+    private long version;
+    private Map<Integer, Integer> currentPositions = Collections.emptyMap();
+    private List<Integer> currentIds = Collections.emptyList();
+
+    public ProductChangeHistory(final ProductChangeProperties properties) {
+        if (properties.getHistorySize() < 1) {
+            throw new EcommerceException("Product change history size must be greater than zero");
+        }
+        this.deltas = new Delta[properties.getHistorySize()];
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized void record(final Map<Integer, Integer> added, final List<Integer> removed,
+                                    final Map<Integer, Integer> repositioned, final Map<Integer, Integer> positions,
+                                    final List<Integer> ids) {
+        if (added.isEmpty() && removed.isEmpty() && repositioned.isEmpty()) {
+            return;
+        }
+        version++;
+        currentPositions = Map.copyOf(positions);
+        currentIds = List.copyOf(ids);
+        deltas[(head + size) % deltas.length] =
+            new Delta(Map.copyOf(added), List.copyOf(removed), Map.copyOf(repositioned));
+        if (size < deltas.length) {
+            size++;
+        } else {
+            head = (head + 1) % deltas.length;
+        }
+    }
+
+    public synchronized ProductChanges getChangesSince(final String sinceEpoch, final long sinceVersion) {
+        if (!epoch.equals(sinceEpoch) || sinceVersion < version - size || sinceVersion > version) {
+            return ProductChanges.builder()
+                .epoch(epoch)
+                .version(version)
+                .snapshot(true)
+                .ids(currentIds)
+                .positions(currentPositions)
+                .added(Collections.emptyMap())
+                .removed(Collections.emptyList())
+                .repositioned(Collections.emptyMap())
+                .build();
+        }
+
+        final Map<Integer, Change> changes = new LinkedHashMap<>();
+        final Map<Integer, Integer> positions = new LinkedHashMap<>();
+        for (int i = size - (int) (version - sinceVersion); i < size; i++) {
+            final Delta delta = deltas[(head + i) % deltas.length];
+            delta.added.forEach((productId, position) -> {
+                changes.merge(productId, Change.ADDED,
+                    (previous, current) -> previous == Change.REMOVED ? Change.REPOSITIONED : previous);
+                positions.put(productId, position);
+            });
+            delta.repositioned.forEach((productId, position) -> {
+                changes.merge(productId, Change.REPOSITIONED, (previous, current) -> previous);
+                positions.put(productId, position);
+            });
+            delta.removed.forEach(productId -> {
+                if (changes.get(productId) == Change.ADDED) {
+                    changes.remove(productId);
+                } else {
+                    changes.put(productId, Change.REMOVED);
+                }
+                positions.remove(productId);
+            });
+        }
+        return ProductChanges.builder()
+            .epoch(epoch)
+            .version(version)
+            .snapshot(false)
+            .ids(Collections.emptyList())
+            .positions(Collections.emptyMap())
+            .added(withPositions(changes, Change.ADDED, positions))
+            .removed(filter(changes, Change.REMOVED))
+            .repositioned(withPositions(changes, Change.REPOSITIONED, positions))
+            .build();
+    }
+
+    private static List<Integer> filter(final Map<Integer, Change> changes, final Change change) {
+        final List<Integer> productIds = new ArrayList<>();
+        changes.forEach((productId, productChange) -> {
+            if (productChange == change) {
+                productIds.add(productId);
+            }
+        });
+        return productIds;
+    }
+
+    private static Map<Integer, Integer> withPositions(final Map<Integer, Change> changes, final Change change,
+                                                       final Map<Integer, Integer> positions) {
+        final Map<Integer, Integer> productPositions = new LinkedHashMap<>();
+        filter(changes, change).forEach(productId -> productPositions.put(productId, positions.get(productId)));
+        return productPositions;
+    }
+
+    private static final class Delta {
+        private final Map<Integer, Integer> added;
+        private final List<Integer> removed;
+        private final Map<Integer, Integer> repositioned;
+
+        private Delta(final Map<Integer, Integer> added, final List<Integer> removed,
+                      final Map<Integer, Integer> repositioned) {
+            this.added = added;
+            this.removed = removed;
+            this.repositioned = repositioned;
+        }
+    }
+}
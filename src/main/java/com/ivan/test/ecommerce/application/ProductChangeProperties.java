@@ -0,0 +1,17 @@
+package com.ivan.test.ecommerce.application;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Product change history settings.
+ */
+@Data
+@ConfigurationProperties(prefix = "ecommerce.changes")
+public class ProductChangeProperties {
+
+    /**
+     * Number of versions kept in the history, older versions get a full snapshot.
+     */
+    private int historySize = 1024;
+}
@@ -0,0 +1,149 @@
+package com.ivan.test.ecommerce.domain.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Ordered set of product ids keyed by position, backed by a skip list over primitive ints.
+ * Products sharing a position are ordered by product id.
+ * Insert, remove and reposition are O(log n) expected, iterating the first k ids is O(k).
+ * Not thread safe, callers must synchronize access.
+ */
+public class ProductPositionIndex {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(Integer.MIN_VALUE, Integer.MIN_VALUE, MAX_LEVEL);
+    private final Map<Integer, Node> nodesByProductId = new HashMap<>();
+    private int level = 1;
+
+    public int size() {
+        return nodesByProductId.size();
+    }
+
+    public boolean contains(final int productId) {
+        return nodesByProductId.containsKey(productId);
+    }
+
+    /**
+     * Inserts the product, or moves it when it is already indexed with a different position.
+     *
+     * @return true when the index changed
+     */
+    public boolean put(final int productId, final int position) {
+        final Node current = nodesByProductId.get(productId);
+        if (current != null) {
+            if (current.position == position) {
+                return false;
+            }
+            unlink(current.position, productId);
+        }
+        nodesByProductId.put(productId, link(productId, position));
+        return true;
+    }
+
+    /**
+     * @return true when the product was indexed
+     */
+    public boolean remove(final int productId) {
+        final Node current = nodesByProductId.remove(productId);
+        if (current == null) {
+            return false;
+        }
+        unlink(current.position, productId);
+        return true;
+    }
+
+    /**
+     * Removes every indexed product not present in the given ids.
+     *
+     * @return the removed product ids
+     */
+    public List<Integer> retainAll(final Set<Integer> productIds) {
+        final List<Integer> removedIds = nodesByProductId.keySet().stream()
+            .filter(productId -> !productIds.contains(productId))
+            .collect(Collectors.toList());
+        removedIds.forEach(this::remove);
+        return removedIds;
+    }
+
+    public List<Integer> firstIds(final int limit) {
+        final List<Integer> ids = new ArrayList<>(Math.min(limit, size()));
+        Node node = head.next[0];
+        while (node != null && ids.size() < limit) {
+            ids.add(node.productId);
+            node = node.next[0];
+        }
+        return ids;
+    }
+
+    public List<Integer> ids() {
+        return firstIds(size());
+    }
+
+    private Node link(final int productId, final int position) {
+        final Node[] update = findPredecessors(position, productId);
+        final int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                update[i] = head;
+            }
+            level = nodeLevel;
+        }
+        final Node node = new Node(position, productId, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+        }
+        return node;
+    }
+
+    private void unlink(final int position, final int productId) {
+        final Node[] update = findPredecessors(position, productId);
+        final Node node = update[0].next[0];
+        for (int i = 0; i < level && update[i].next[i] == node; i++) {
+            update[i].next[i] = node.next[i];
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    private Node[] findPredecessors(final int position, final int productId) {
+        final Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].isBefore(position, productId)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        return update;
+    }
+
+    private static int randomLevel() {
+        final int bits = ThreadLocalRandom.current().nextInt();
+        return Math.min(MAX_LEVEL, Integer.numberOfTrailingZeros(bits) + 1);
+    }
+
+    private static final class Node {
+        private final int position;
+        private final int productId;
+        private final Node[] next;
+
+        private Node(final int position, final int productId, final int level) {
+            this.position = position;
+            this.productId = productId;
+            this.next = new Node[level];
+        }
+
+        private boolean isBefore(final int otherPosition, final int otherProductId) {
+            return position < otherPosition || (position == otherPosition && productId < otherProductId);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ivan.test.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChanges {
+    /**
+     * Identifies the history the version belongs to, it changes on every restart and differs between instances.
+     */
+    private String epoch;
+    private long version;
+    /**
+     * True when the requested version is no longer in the history and {@code ids} and {@code positions}
+     * hold the whole visible list.
+     */
+    private boolean snapshot;
+    private List<Integer> ids;
+    /**
+     * Position of every visible product by product id, only filled in a snapshot.
+     */
+    private Map<Integer, Integer> positions;
+    /**
+     * Position of each added product by product id.
+     */
+    private Map<Integer, Integer> added;
+    private List<Integer> removed;
+    /**
+     * Latest position of each product whose position changed, by product id. A product removed and added back
+     * within the requested range is reported here, even when it came back at the same position.
+     */
+    private Map<Integer, Integer> repositioned;
+}
@@ -0,0 +1,25 @@
+package com.ivan.test.ecommerce.infrastructure.config;
+
+import com.ivan.test.ecommerce.application.GetProductsWithStock;
+import com.ivan.test.ecommerce.domain.ProductRepository;
+import com.mongodb.client.MongoClient;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans needed to serve the first request stay eager when {@code spring.main.lazy-initialization} is enabled.
+ * An eager bean also creates its dependencies, so {@link GetProductsWithStock} keeps the product change history,
+ * the product repository, the Mongo repositories, the entity mapper and the Mongo client eager too.
+ * The fast-start profile therefore only defers {@code GetProductChanges} and the web and actuator infrastructure
+ * that is not needed before the first request.
+ */
+@Configuration
+public class StartupConfiguration {
+
+    @Bean
+    public static LazyInitializationExcludeFilter criticalBeansLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+            GetProductsWithStock.class, ProductRepository.class, MongoClient.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ivan.test.ecommerce.infrastructure.data.mongo.config;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long threads wait to check out a pooled connection, tagged by server and outcome.
+ * Pool size, checked out connections and wait queue size are already exported by the actuator
+ * {@code mongodb.driver.pool.*} metrics.
+ * <p>
+ * Start and end of a checkout are paired through a {@link ThreadLocal}, which only holds with the synchronous
+ * driver where the same thread raises both events. The reactive and async drivers may complete a checkout on
+ * another thread, they would need the start time keyed by operation instead.
+ */
+public class ConnectionPoolCheckoutMetricsListener implements ConnectionPoolListener {
+
+    static final String CHECKOUT_METRIC = "mongodb.driver.pool.checkout";
+
+    private final ThreadLocal<Long> checkOutStart = new ThreadLocal<>();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ConnectionPoolCheckoutMetricsListener(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckOutStarted(final ConnectionCheckOutStartedEvent event) {
+        checkOutStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void connectionCheckedOut(final ConnectionCheckedOutEvent event) {
+        record(event.getConnectionId().getServerId(), "success");
+    }
+
+    @Override
+    public void connectionCheckOutFailed(final ConnectionCheckOutFailedEvent event) {
+        record(event.getServerId(), event.getReason().name().toLowerCase(Locale.ROOT));
+    }
+
+    private void record(final ServerId serverId, final String outcome) {
+        final Long start = checkOutStart.get();
+        if (start == null) {
+            return;
+        }
+        checkOutStart.remove();
+        timers.computeIfAbsent(new TimerKey(serverId, outcome), this::registerTimer)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer registerTimer(final TimerKey key) {
+        return Timer.builder(CHECKOUT_METRIC)
+            .description("Time spent waiting to check out a connection from the pool")
+            .tag("cluster.id", key.getServerId().getClusterId().getValue())
+            .tag("server.address", key.getServerId().getAddress().toString())
+            .tag("outcome", key.getOutcome())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Value
+    private static class TimerKey {
+        ServerId serverId;
+        String outcome;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ivan.test.ecommerce.infrastructure.data.mongo.config;
+
+import com.ivan.test.ecommerce.domain.exception.EcommerceException;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Configuration
+public class MongoClientConfiguration {
+
+    /**
+     * Applied after the {@code spring.data.mongodb.*} customizer, so only properties that are set override
+     * the connection string options.
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public MongoClientSettingsBuilderCustomizer mongoClientPropertiesCustomizer(
+            final MongoClientProperties properties, final ObjectProvider<MeterRegistry> meterRegistry) {
+        final MongoClientProperties.Pool pool = properties.getPool();
+        final MongoClientProperties.Socket socket = properties.getSocket();
+        final Optional<List<MongoCompressor>> compressors = Optional.ofNullable(properties.getCompressors())
+            .map(MongoClientConfiguration::mapToCompressors);
+        final Optional<ReadPreference> readPreference = Optional.ofNullable(properties.getReadPreference())
+            .map(MongoClientConfiguration::mapToReadPreference);
+        return settings -> {
+            settings.applyToConnectionPoolSettings(builder -> {
+                Optional.ofNullable(pool.getMaxSize()).ifPresent(builder::maxSize);
+                Optional.ofNullable(pool.getMinSize()).ifPresent(builder::minSize);
+                Optional.ofNullable(pool.getMaxConnecting()).ifPresent(builder::maxConnecting);
+                Optional.ofNullable(pool.getMaxWaitTime())
+                    .ifPresent(wait -> builder.maxWaitTime(wait.toMillis(), TimeUnit.MILLISECONDS));
+                Optional.ofNullable(pool.getMaxConnectionIdleTime())
+                    .ifPresent(idle -> builder.maxConnectionIdleTime(idle.toMillis(), TimeUnit.MILLISECONDS));
+                Optional.ofNullable(pool.getMaxConnectionLifeTime())
+                    .ifPresent(life -> builder.maxConnectionLifeTime(life.toMillis(), TimeUnit.MILLISECONDS));
+                meterRegistry.ifAvailable(registry ->
+                    builder.addConnectionPoolListener(new ConnectionPoolCheckoutMetricsListener(registry)));
+            });
+            settings.applyToSocketSettings(builder -> {
+                Optional.ofNullable(socket.getConnectTimeout())
+                    .ifPresent(timeout -> builder.connectTimeout((int) timeout.toMillis(), TimeUnit.MILLISECONDS));
+                Optional.ofNullable(socket.getReadTimeout())
+                    .ifPresent(timeout -> builder.readTimeout((int) timeout.toMillis(), TimeUnit.MILLISECONDS));
+            });
+            compressors.ifPresent(settings::compressorList);
+            readPreference.ifPresent(settings::readPreference);
+        };
+    }
+
+    private static List<MongoCompressor> mapToCompressors(final List<String> compressors) {
+        return compressors.stream()
+            .map(compressor -> compressor.trim().toLowerCase(Locale.ROOT))
+            .map(MongoClientConfiguration::mapToCompressor)
+            .collect(Collectors.toList());
+    }
+
+    private static MongoCompressor mapToCompressor(final String compressor) {
+        switch (compressor) {
+            case "zstd":
+                return MongoCompressor.createZstdCompressor();
+            case "snappy":
+                return MongoCompressor.createSnappyCompressor();
+            case "zlib":
+                return MongoCompressor.createZlibCompressor();
+            default:
+                throw new EcommerceException("Unsupported mongo compressor " + compressor);
+        }
+    }
+
+    private static ReadPreference mapToReadPreference(final String readPreference) {
+        try {
+            return ReadPreference.valueOf(readPreference);
+        } catch (IllegalArgumentException e) {
+            throw new EcommerceException("Unsupported mongo read preference " + readPreference);
+        }
+    }
+}
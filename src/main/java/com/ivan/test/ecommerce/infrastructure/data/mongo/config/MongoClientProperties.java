@@ -0,0 +1,50 @@
+package com.ivan.test.ecommerce.infrastructure.data.mongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Mongo driver tuning: connection pool, socket timeouts, wire compression and read preference.
+ * Only the properties that are set are applied, on top of {@code spring.data.mongodb.*} and its connection string.
+ * A zero idle time, life time or read timeout means no limit.
+ */
+@Data
+@ConfigurationProperties(prefix = "ecommerce.mongo")
+public class MongoClientProperties {
+
+    private Pool pool = new Pool();
+    private Socket socket = new Socket();
+    /**
+     * Wire compressors in order of preference, supported values are zstd, snappy and zlib.
+     */
+    private List<String> compressors;
+    /**
+     * Read preference for catalog reads, e.g. primary, primaryPreferred, secondary, secondaryPreferred or nearest.
+     */
+    private String readPreference;
+
+    @Data
+    public static class Pool {
+        private Integer maxSize;
+        private Integer minSize;
+        /**
+         * Maximum number of connections a pool may be establishing concurrently.
+         */
+        private Integer maxConnecting;
+        /**
+         * Maximum time a thread waits in the queue for a connection to become available.
+         */
+        private Duration maxWaitTime;
+        private Duration maxConnectionIdleTime;
+        private Duration maxConnectionLifeTime;
+    }
+
+    @Data
+    public static class Socket {
+        private Duration connectTimeout;
+        private Duration readTimeout;
+    }
+}
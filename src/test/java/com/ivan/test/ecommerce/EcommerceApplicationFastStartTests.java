@@ -0,0 +1,35 @@
+package com.ivan.test.ecommerce;
+
+import com.ivan.test.ecommerce.application.GetProductChanges;
+import com.ivan.test.ecommerce.application.GetProductsWithStock;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("fast-start")
+@SpringBootTest(properties = {"spring.mongodb.embedded.version=3.4.24"})
+class EcommerceApplicationFastStartTests {
+
+	@Autowired
+	private ConfigurableApplicationContext context;
+
+	@Test
+	void contextLoadsWithCriticalBeansEager() {
+		assertThat(context.getEnvironment().getProperty("spring.main.lazy-initialization", Boolean.class)).isTrue();
+		assertThat(context.getBeanFactory().getSingleton(beanName(GetProductsWithStock.class))).isNotNull();
+	}
+
+	@Test
+	void contextLoadsWithNonCriticalBeansLazy() {
+		assertThat(context.getBeanFactory().getSingleton(beanName(GetProductChanges.class))).isNull();
+	}
+
+	private String beanName(final Class<?> type) {
+		return context.getBeanNamesForType(type)[0];
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.ivan.test.ecommerce.application;
+
+import com.ivan.test.ecommerce.domain.exception.EcommerceException;
+import com.ivan.test.ecommerce.domain.model.ProductChanges;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class GetProductChangesTest {
+
+    private static final String EPOCH = "epoch";
+    private static final long VERSION = 3L;
+
+    @Mock
+    private GetProductsWithStock getProductsWithStock;
+    @Mock
+    private ProductChangeHistory productChangeHistory;
+
+    @InjectMocks
+    private GetProductChanges getProductChanges;
+
+    @Test
+    void should_throws_an_exception_given_version_when_get_products_with_stock_throws_an_exception() {
+        //GIVEN
+        assertThat(getProductChanges).isNotNull();
+        given(getProductsWithStock.get()).willThrow(new EcommerceException("UNIT TEST"));
+
+        //WHEN
+        final Throwable throwable = catchThrowable(() -> getProductChanges.getSince(EPOCH, VERSION));
+
+        //THEN
+        assertThat(throwable).isNotNull()
+            .isInstanceOf(EcommerceException.class);
+        then(productChangeHistory).should(never()).getChangesSince(EPOCH, VERSION);
+    }
+
+    @Test
+    void should_return_changes_given_version_when_visible_products_are_refreshed() {
+        //GIVEN
+        assertThat(getProductChanges).isNotNull();
+        final ProductChanges changes = ProductChanges.builder()
+            .epoch(EPOCH)
+            .version(VERSION + 1)
+            .added(Map.of(1, 0))
+            .build();
+        given(getProductsWithStock.get()).willReturn(List.of(1));
+        given(productChangeHistory.getChangesSince(EPOCH, VERSION)).willReturn(changes);
+
+        //WHEN
+        final ProductChanges response = getProductChanges.getSince(EPOCH, VERSION);
+
+        //THEN
+        assertThat(response).isNotNull().isEqualTo(changes);
+        then(getProductsWithStock).should().get();
+        then(productChangeHistory).should().getChangesSince(EPOCH, VERSION);
+    }
+}
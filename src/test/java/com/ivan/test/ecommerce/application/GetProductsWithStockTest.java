@@ -8,13 +8,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 
@@ -23,6 +30,8 @@ class GetProductsWithStockTest {
 
     @Mock
     private ProductRepository productRepository;
+    @Spy
+    private ProductChangeHistory productChangeHistory = new ProductChangeHistory(new ProductChangeProperties());
 
     @InjectMocks
     private GetProductsWithStock getProductsWithStock;
@@ -193,6 +202,122 @@ class GetProductsWithStockTest {
         then(productRepository).should().getProducts();
     }
 
+    @Test
+    void should_record_changes_given_not_params_when_product_repository_returns_repositioned_and_removed_products() {
+        //GIVEN
+        assertThat(getProductsWithStock).isNotNull();
+        given(productRepository.getProducts()).willReturn(
+            List.of(
+                Product.builder().productId(1).position(0).sizes(List.of(mockProductSizeWithStock(1))).build(),
+                Product.builder().productId(2).position(1).sizes(List.of(mockProductSizeWithStock(2))).build()),
+            List.of(
+                Product.builder().productId(1).position(2).sizes(List.of(mockProductSizeWithStock(1))).build(),
+                Product.builder().productId(3).position(1).sizes(List.of(mockProductSizeWithStock(3))).build()));
+
+        //WHEN
+        getProductsWithStock.get();
+        final List<Integer> response = getProductsWithStock.get();
+
+        //THEN
+        assertThat(response).isNotNull().containsExactly(3, 1);
+        then(productChangeHistory).should().record(eq(Map.of(1, 0, 2, 1)), eq(List.of()), eq(Map.of()),
+            eq(Map.of(1, 0, 2, 1)), eq(List.of(1, 2)));
+        then(productChangeHistory).should().record(eq(Map.of(3, 1)), eq(List.of(2)), eq(Map.of(1, 2)),
+            eq(Map.of(1, 2, 3, 1)), eq(List.of(3, 1)));
+    }
+
+    @Test
+    void should_return_product_once_given_not_params_when_product_repository_returns_duplicated_product_ids() {
+        //GIVEN
+        assertThat(getProductsWithStock).isNotNull();
+        final List<Product> storedDuplicatedProducts = List.of(
+                Product.builder().productId(1).position(0).sizes(List.of(mockProductSizeWithStock(1))).build(),
+                Product.builder().productId(2).position(1).sizes(List.of(mockProductSizeWithStock(2))).build(),
+                Product.builder().productId(1).position(2).sizes(List.of(mockProductSizeWithStock(3))).build());
+
+        given(productRepository.getProducts()).willReturn(storedDuplicatedProducts);
+
+        //WHEN
+        final List<Integer> response = getProductsWithStock.get();
+
+        //THEN
+        assertThat(response).isNotNull().containsExactly(2, 1);
+        then(productRepository).should().getProducts();
+    }
+
+    @Test
+    void should_skip_products_given_not_params_when_product_repository_returns_products_without_id_or_position() {
+        //GIVEN
+        assertThat(getProductsWithStock).isNotNull();
+        final List<Product> storedProductsWithoutIdOrPosition = List.of(
+                Product.builder().productId(null).position(0).sizes(List.of(mockProductSizeWithStock(1))).build(),
+                Product.builder().productId(2).position(null).sizes(List.of(mockProductSizeWithStock(2))).build(),
+                Product.builder().productId(3).position(1).sizes(List.of(mockProductSizeWithStock(3))).build());
+
+        given(productRepository.getProducts()).willReturn(storedProductsWithoutIdOrPosition);
+
+        //WHEN
+        final List<Integer> response = getProductsWithStock.get();
+
+        //THEN
+        assertThat(response).isNotNull().containsExactly(3);
+        then(productRepository).should().getProducts();
+    }
+
+    @Test
+    void should_return_same_list_given_not_params_when_stored_products_did_not_change() {
+        //GIVEN
+        assertThat(getProductsWithStock).isNotNull();
+        final List<Product> storedProductsWithStock = List.of(
+                Product.builder().productId(1).position(0).sizes(List.of(mockProductSizeWithStock(1))).build());
+
+        given(productRepository.getProducts()).willReturn(storedProductsWithStock);
+
+        //WHEN
+        final List<Integer> first = getProductsWithStock.get();
+        final List<Integer> second = getProductsWithStock.get();
+
+        //THEN
+        assertThat(second).isSameAs(first).containsExactly(1);
+        then(productChangeHistory).should().record(eq(Map.of(1, 0)), eq(List.of()), eq(Map.of()), eq(Map.of(1, 0)), eq(List.of(1)));
+    }
+
+    @Test
+    void should_drop_older_products_given_not_params_when_a_newer_call_was_applied_first() throws Exception {
+        //GIVEN
+        assertThat(getProductsWithStock).isNotNull();
+        final List<Product> olderProducts = List.of(
+                Product.builder().productId(1).position(0).sizes(List.of(mockProductSizeWithStock(1))).build());
+        final List<Product> newerProducts = List.of(
+                Product.builder().productId(1).position(1).sizes(List.of(mockProductSizeWithStock(1))).build(),
+                Product.builder().productId(2).position(0).sizes(List.of(mockProductSizeWithStock(2))).build());
+        final CountDownLatch olderFetchStarted = new CountDownLatch(1);
+        final CountDownLatch newerApplied = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        given(productRepository.getProducts()).willAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                olderFetchStarted.countDown();
+                newerApplied.await(5, TimeUnit.SECONDS);
+                return olderProducts;
+            }
+            return newerProducts;
+        });
+
+        //WHEN
+        final CompletableFuture<List<Integer>> olderCall = CompletableFuture.supplyAsync(getProductsWithStock::get);
+        olderFetchStarted.await(5, TimeUnit.SECONDS);
+        final List<Integer> newerResponse = getProductsWithStock.get();
+        newerApplied.countDown();
+        final List<Integer> olderResponse = olderCall.get(5, TimeUnit.SECONDS);
+
+        //THEN
+        assertThat(newerResponse).containsExactly(2, 1);
+        assertThat(olderResponse).containsExactly(2, 1);
+        then(productChangeHistory).should().record(eq(Map.of(1, 1, 2, 0)), eq(List.of()), eq(Map.of()),
+            eq(Map.of(1, 1, 2, 0)), eq(List.of(2, 1)));
+        assertThat(productChangeHistory.getVersion()).isEqualTo(1);
+    }
+
     private static ProductSize mockProductSizeWithoutStock(int sizeId) {
         return ProductSize.builder()
                 .sizeId(sizeId)
@@ -0,0 +1,195 @@
+package com.ivan.test.ecommerce.application;
+
+import com.ivan.test.ecommerce.domain.exception.EcommerceException;
+import com.ivan.test.ecommerce.domain.model.ProductChanges;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
+
+class ProductChangeHistoryTest {
+
+    @Test
+    void should_throws_an_exception_given_history_size_when_it_is_not_positive() {
+        //GIVEN
+        //WHEN
+        final Throwable throwable = catchThrowable(() -> productChangeHistory(0));
+
+        //THEN
+        assertThat(throwable).isNotNull()
+            .isInstanceOf(EcommerceException.class);
+    }
+
+    @Test
+    void should_not_bump_version_given_empty_changes_when_they_are_recorded() {
+        //GIVEN
+        final ProductChangeHistory productChangeHistory = productChangeHistory(4);
+
+        //WHEN
+        productChangeHistory.record(Map.of(), List.of(), Map.of(), Map.of(), List.of());
+
+        //THEN
+        assertThat(productChangeHistory.getVersion()).isZero();
+    }
+
+    @Test
+    void should_return_empty_changes_given_current_version_when_nothing_changed() {
+        //GIVEN
+        final ProductChangeHistory productChangeHistory = productChangeHistory(4);
+        productChangeHistory.record(Map.of(1, 0, 2, 1), List.of(), Map.of(), Map.of(1, 0, 2, 1), List.of(1, 2));
+
+        //WHEN
+        final ProductChanges response = productChangeHistory.getChangesSince(productChangeHistory.getEpoch(), 1);
+
+        //THEN
+        assertThat(response).isNotNull()
+            .hasFieldOrPropertyWithValue("version", 1L)
+            .hasFieldOrPropertyWithValue("snapshot", false);
+        assertThat(response.getAdded()).isEmpty();
+        assertThat(response.getRemoved()).isEmpty();
+        assertThat(response.getRepositioned()).isEmpty();
+    }
+
+    @Test
+    void should_merge_changes_given_old_version_when_several_changes_are_recorded() {
+        //GIVEN
+        final ProductChangeHistory productChangeHistory = productChangeHistory(4);
+        productChangeHistory.record(Map.of(1, 0, 2, 1, 3, 2), List.of(), Map.of(),
+            Map.of(1, 0, 2, 1, 3, 2), List.of(1, 2, 3));
+        productChangeHistory.record(Map.of(4, 0), List.of(1), Map.of(2, 3),
+            Map.of(2, 3, 3, 2, 4, 0), List.of(4, 3, 2));
+        productChangeHistory.record(Map.of(1, 5), List.of(4), Map.of(3, 4),
+            Map.of(1, 5, 2, 3, 3, 4), List.of(2, 3, 1));
+
+        //WHEN
+        final ProductChanges response = productChangeHistory.getChangesSince(productChangeHistory.getEpoch(), 1);
+
+        //THEN
+        assertThat(response).isNotNull()
+            .hasFieldOrPropertyWithValue("version", 3L)
+            .hasFieldOrPropertyWithValue("snapshot", false);
+        assertThat(response.getAdded()).isEmpty();
+        assertThat(response.getRemoved()).isEmpty();
+        assertThat(response.getRepositioned()).containsOnly(entry(1, 5), entry(2, 3), entry(3, 4));
+    }
+
+    @Test
+    void should_return_added_and_removed_given_previous_version_when_products_changed() {
+        //GIVEN
+        final ProductChangeHistory productChangeHistory = productChangeHistory(4);
+        productChangeHistory.record(Map.of(1, 0, 2, 1), List.of(), Map.of(), Map.of(1, 0, 2, 1), List.of(1, 2));
+        productChangeHistory.record(Map.of(3, 2), List.of(1), Map.of(), Map.of(2, 1, 3, 2), List.of(2, 3));
+
+        //WHEN
+        final ProductChanges response = productChangeHistory.getChangesSince(productChangeHistory.getEpoch(), 1);
+
+        //THEN
+        assertThat(response.getAdded()).containsOnly(entry(3, 2));
+        assertThat(response.getRemoved()).containsExactly(1);
+        assertThat(response.getRepositioned()).isEmpty();
+    }
+
+    @Test
+    void should_rebuild_current_list_given_old_snapshot_when_merged_changes_are_applied() {
+        //GIVEN
+        final ProductChangeHistory productChangeHistory = productChangeHistory(4);
+        productChangeHistory.record(Map.of(1, 0, 2, 1, 3, 2), List.of(), Map.of(),
+            Map.of(1, 0, 2, 1, 3, 2), List.of(1, 2, 3));
+        final ProductChanges snapshot = productChangeHistory.getChangesSince(null, 0);
+        productChangeHistory.record(Map.of(4, 1), List.of(1), Map.of(3, 0),
+            Map.of(2, 1, 3, 0, 4, 1), List.of(3, 2, 4));
+        productChangeHistory.record(Map.of(1, 2), List.of(4), Map.of(2, 3),
+            Map.of(1, 2, 2, 3, 3, 0), List.of(3, 1, 2));
+        productChangeHistory.record(Map.of(), List.of(), Map.of(2, 0),
+            Map.of(1, 2, 2, 0, 3, 0), List.of(2, 3, 1));
+
+        //WHEN
+        final ProductChanges changes = productChangeHistory.getChangesSince(snapshot.getEpoch(), snapshot.getVersion());
+
+        //THEN
+        final Map<Integer, Integer> positions = new HashMap<>(snapshot.getPositions());
+        changes.getRemoved().forEach(positions::remove);
+        positions.putAll(changes.getAdded());
+        positions.putAll(changes.getRepositioned());
+        final List<Integer> rebuiltIds = positions.entrySet().stream()
+            .sorted(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        assertThat(snapshot).hasFieldOrPropertyWithValue("snapshot", true);
+        assertThat(changes).hasFieldOrPropertyWithValue("snapshot", false);
+        assertThat(changes.getRepositioned()).containsOnly(entry(1, 2), entry(2, 0), entry(3, 0));
+        assertThat(rebuiltIds).containsExactly(2, 3, 1)
+            .isEqualTo(productChangeHistory.getChangesSince(null, 0).getIds());
+    }
+
+    @Test
+    void should_return_snapshot_given_version_when_it_is_older_than_the_history() {
+        //GIVEN
+        final ProductChangeHistory productChangeHistory = productChangeHistory(2);
+        productChangeHistory.record(Map.of(1, 1), List.of(), Map.of(), Map.of(1, 1), List.of(1));
+        productChangeHistory.record(Map.of(2, 2), List.of(), Map.of(), Map.of(1, 1, 2, 2), List.of(1, 2));
+        productChangeHistory.record(Map.of(3, 0), List.of(), Map.of(), Map.of(1, 1, 2, 2, 3, 0), List.of(3, 1, 2));
+
+        //WHEN
+        final ProductChanges oldest = productChangeHistory.getChangesSince(productChangeHistory.getEpoch(), 1);
+        final ProductChanges tooOld = productChangeHistory.getChangesSince(productChangeHistory.getEpoch(), 0);
+
+        //THEN
+        assertThat(oldest).hasFieldOrPropertyWithValue("snapshot", false);
+        assertThat(oldest.getAdded()).containsOnly(entry(2, 2), entry(3, 0));
+        assertThat(tooOld).isNotNull()
+            .hasFieldOrPropertyWithValue("version", 3L)
+            .hasFieldOrPropertyWithValue("snapshot", true);
+        assertThat(tooOld.getIds()).containsExactly(3, 1, 2);
+        assertThat(tooOld.getPositions()).containsOnly(entry(1, 1), entry(2, 2), entry(3, 0));
+    }
+
+    @Test
+    void should_return_snapshot_given_version_when_it_is_newer_than_the_current_version() {
+        //GIVEN
+        final ProductChangeHistory productChangeHistory = productChangeHistory(2);
+        productChangeHistory.record(Map.of(1, 0), List.of(), Map.of(), Map.of(1, 0), List.of(1));
+
+        //WHEN
+        final ProductChanges response = productChangeHistory.getChangesSince(productChangeHistory.getEpoch(), 7);
+
+        //THEN
+        assertThat(response).hasFieldOrPropertyWithValue("snapshot", true);
+        assertThat(response.getIds()).containsExactly(1);
+    }
+
+    @Test
+    void should_return_snapshot_given_version_of_another_epoch_when_it_is_within_the_history() {
+        //GIVEN
+        final ProductChangeHistory beforeRestart = productChangeHistory(4);
+        beforeRestart.record(Map.of(1, 0, 2, 1), List.of(), Map.of(), Map.of(1, 0, 2, 1), List.of(1, 2));
+        final ProductChanges polled = beforeRestart.getChangesSince(null, 0);
+        final ProductChangeHistory afterRestart = productChangeHistory(4);
+        afterRestart.record(Map.of(3, 0), List.of(), Map.of(), Map.of(3, 0), List.of(3));
+        afterRestart.record(Map.of(4, 1), List.of(), Map.of(), Map.of(3, 0, 4, 1), List.of(3, 4));
+
+        //WHEN
+        final ProductChanges response = afterRestart.getChangesSince(polled.getEpoch(), polled.getVersion());
+
+        //THEN
+        assertThat(polled).hasFieldOrPropertyWithValue("snapshot", true);
+        assertThat(afterRestart.getEpoch()).isNotEqualTo(beforeRestart.getEpoch());
+        assertThat(response).isNotNull()
+            .hasFieldOrPropertyWithValue("epoch", afterRestart.getEpoch())
+            .hasFieldOrPropertyWithValue("version", 2L)
+            .hasFieldOrPropertyWithValue("snapshot", true);
+        assertThat(response.getIds()).containsExactly(3, 4);
+    }
+
+    private static ProductChangeHistory productChangeHistory(final int historySize) {
+        final ProductChangeProperties properties = new ProductChangeProperties();
+        properties.setHistorySize(historySize);
+        return new ProductChangeHistory(properties);
+    }
+}
@@ -0,0 +1,123 @@
+package com.ivan.test.ecommerce.domain.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPositionIndexTest {
+
+    @Test
+    void should_return_empty_list_given_not_params_when_index_is_empty() {
+        //GIVEN
+        final ProductPositionIndex productPositionIndex = new ProductPositionIndex();
+
+        //WHEN
+        final List<Integer> response = productPositionIndex.ids();
+
+        //THEN
+        assertThat(response).isNotNull().isEmpty();
+        assertThat(productPositionIndex.size()).isZero();
+    }
+
+    @Test
+    void should_return_ids_ordered_by_position_given_products_when_they_are_inserted_not_sorted() {
+        //GIVEN
+        final ProductPositionIndex productPositionIndex = new ProductPositionIndex();
+
+        //WHEN
+        productPositionIndex.put(1, 10);
+        productPositionIndex.put(2, 7);
+        productPositionIndex.put(3, 15);
+        productPositionIndex.put(5, 6);
+
+        //THEN
+        assertThat(productPositionIndex.ids()).containsExactly(5, 2, 1, 3);
+        assertThat(productPositionIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    void should_order_by_product_id_given_products_when_they_share_position() {
+        //GIVEN
+        final ProductPositionIndex productPositionIndex = new ProductPositionIndex();
+
+        //WHEN
+        productPositionIndex.put(3, 1);
+        productPositionIndex.put(1, 1);
+        productPositionIndex.put(2, 0);
+
+        //THEN
+        assertThat(productPositionIndex.ids()).containsExactly(2, 1, 3);
+    }
+
+    @Test
+    void should_move_product_given_new_position_when_product_is_already_indexed() {
+        //GIVEN
+        final ProductPositionIndex productPositionIndex = new ProductPositionIndex();
+        productPositionIndex.put(1, 0);
+        productPositionIndex.put(2, 1);
+        productPositionIndex.put(3, 2);
+
+        //WHEN
+        final boolean moved = productPositionIndex.put(1, 5);
+        final boolean unchanged = productPositionIndex.put(2, 1);
+
+        //THEN
+        assertThat(moved).isTrue();
+        assertThat(unchanged).isFalse();
+        assertThat(productPositionIndex.ids()).containsExactly(2, 3, 1);
+        assertThat(productPositionIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    void should_remove_product_given_product_id_when_product_is_indexed() {
+        //GIVEN
+        final ProductPositionIndex productPositionIndex = new ProductPositionIndex();
+        productPositionIndex.put(1, 0);
+        productPositionIndex.put(2, 1);
+
+        //WHEN
+        final boolean removed = productPositionIndex.remove(1);
+        final boolean notIndexed = productPositionIndex.remove(7);
+
+        //THEN
+        assertThat(removed).isTrue();
+        assertThat(notIndexed).isFalse();
+        assertThat(productPositionIndex.contains(1)).isFalse();
+        assertThat(productPositionIndex.ids()).containsExactly(2);
+    }
+
+    @Test
+    void should_keep_only_given_products_given_product_ids_when_retain_all() {
+        //GIVEN
+        final ProductPositionIndex productPositionIndex = new ProductPositionIndex();
+        productPositionIndex.put(1, 0);
+        productPositionIndex.put(2, 1);
+        productPositionIndex.put(3, 2);
+
+        //WHEN
+        final List<Integer> removedIds = productPositionIndex.retainAll(Set.of(3, 1));
+
+        //THEN
+        assertThat(removedIds).containsExactly(2);
+        assertThat(productPositionIndex.ids()).containsExactly(1, 3);
+    }
+
+    @Test
+    void should_return_first_ids_given_limit_when_index_has_more_products() {
+        //GIVEN
+        final ProductPositionIndex productPositionIndex = new ProductPositionIndex();
+        for (int productId = 1000; productId > 0; productId--) {
+            productPositionIndex.put(productId, productId * 2);
+        }
+
+        //WHEN
+        final List<Integer> response = productPositionIndex.firstIds(3);
+
+        //THEN
+        assertThat(response).containsExactly(1, 2, 3);
+        assertThat(productPositionIndex.size()).isEqualTo(1000);
+    }
+}
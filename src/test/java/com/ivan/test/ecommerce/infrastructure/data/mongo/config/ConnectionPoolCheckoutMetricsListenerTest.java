@@ -0,0 +1,79 @@
+package com.ivan.test.ecommerce.infrastructure.data.mongo.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolCheckoutMetricsListenerTest {
+
+    private static final ServerId SERVER_ID = new ServerId(new ClusterId("cluster"), new ServerAddress("localhost", 27017));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionPoolCheckoutMetricsListener listener = new ConnectionPoolCheckoutMetricsListener(meterRegistry);
+
+    @Test
+    void should_record_checkout_wait_given_started_checkout_when_connection_is_checked_out() {
+        //GIVEN
+        listener.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(SERVER_ID));
+
+        //WHEN
+        listener.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(SERVER_ID)));
+
+        //THEN
+        final Timer timer = meterRegistry.find(ConnectionPoolCheckoutMetricsListener.CHECKOUT_METRIC)
+            .tag("outcome", "success").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_reuse_timer_given_same_server_and_outcome_when_connections_are_checked_out_twice() {
+        //GIVEN
+        listener.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(SERVER_ID));
+        listener.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(SERVER_ID)));
+        listener.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(SERVER_ID));
+
+        //WHEN
+        listener.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(SERVER_ID)));
+
+        //THEN
+        assertThat(meterRegistry.find(ConnectionPoolCheckoutMetricsListener.CHECKOUT_METRIC).timers()).hasSize(1);
+        assertThat(meterRegistry.find(ConnectionPoolCheckoutMetricsListener.CHECKOUT_METRIC).timer().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void should_record_checkout_wait_given_started_checkout_when_checkout_fails() {
+        //GIVEN
+        listener.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(SERVER_ID));
+
+        //WHEN
+        listener.connectionCheckOutFailed(
+            new ConnectionCheckOutFailedEvent(SERVER_ID, ConnectionCheckOutFailedEvent.Reason.TIMEOUT));
+
+        //THEN
+        final Timer timer = meterRegistry.find(ConnectionPoolCheckoutMetricsListener.CHECKOUT_METRIC)
+            .tag("outcome", "timeout").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_record_checkout_wait_given_not_started_checkout_when_connection_is_checked_out() {
+        //GIVEN
+        //WHEN
+        listener.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(SERVER_ID)));
+
+        //THEN
+        assertThat(meterRegistry.find(ConnectionPoolCheckoutMetricsListener.CHECKOUT_METRIC).timer()).isNull();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ivan.test.ecommerce.infrastructure.data.mongo.config;
+
+import com.ivan.test.ecommerce.domain.exception.EcommerceException;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class MongoClientConfigurationTest {
+
+    private final MongoClientConfiguration mongoClientConfiguration = new MongoClientConfiguration();
+
+    @Test
+    void should_apply_properties_given_mongo_client_properties_when_settings_are_customized() {
+        //GIVEN
+        final MongoClientProperties properties = new MongoClientProperties();
+        properties.getPool().setMaxSize(50);
+        properties.getPool().setMinSize(5);
+        properties.getPool().setMaxWaitTime(Duration.ofSeconds(2));
+        properties.getSocket().setReadTimeout(Duration.ofSeconds(10));
+        properties.setCompressors(List.of("zstd", " Snappy"));
+        properties.setReadPreference("secondaryPreferred");
+        final MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        //WHEN
+        mongoClientConfiguration.mongoClientPropertiesCustomizer(properties, meterRegistry(new SimpleMeterRegistry()))
+            .customize(builder);
+        final MongoClientSettings settings = builder.build();
+
+        //THEN
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(50);
+        assertThat(settings.getConnectionPoolSettings().getMinSize()).isEqualTo(5);
+        assertThat(settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS)).isEqualTo(2000);
+        assertThat(settings.getConnectionPoolSettings().getConnectionPoolListeners())
+            .hasAtLeastOneElementOfType(ConnectionPoolCheckoutMetricsListener.class);
+        assertThat(settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS)).isEqualTo(10000);
+        assertThat(settings.getCompressorList()).extracting(MongoCompressor::getName)
+            .containsExactly("zstd", "snappy");
+        assertThat(settings.getReadPreference()).isEqualTo(ReadPreference.secondaryPreferred());
+    }
+
+    @Test
+    void should_not_add_metrics_listener_given_mongo_client_properties_when_there_is_not_meter_registry() {
+        //GIVEN
+        final MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        //WHEN
+        mongoClientConfiguration.mongoClientPropertiesCustomizer(new MongoClientProperties(), meterRegistry(null))
+            .customize(builder);
+        final MongoClientSettings settings = builder.build();
+
+        //THEN
+        assertThat(settings.getConnectionPoolSettings().getConnectionPoolListeners()).isEmpty();
+        assertThat(settings.getCompressorList()).isEmpty();
+        assertThat(settings.getReadPreference()).isEqualTo(ReadPreference.primary());
+    }
+
+    @Test
+    void should_keep_connection_string_options_given_not_set_properties_when_settings_are_customized() {
+        //GIVEN
+        final MongoClientSettings.Builder builder = MongoClientSettings.builder()
+            .applyConnectionString(new ConnectionString(
+                "mongodb://localhost/?maxPoolSize=7&readPreference=secondary&compressors=snappy&socketTimeoutMS=1500"));
+
+        //WHEN
+        mongoClientConfiguration.mongoClientPropertiesCustomizer(new MongoClientProperties(), meterRegistry(null))
+            .customize(builder);
+        final MongoClientSettings settings = builder.build();
+
+        //THEN
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(7);
+        assertThat(settings.getReadPreference()).isEqualTo(ReadPreference.secondary());
+        assertThat(settings.getCompressorList()).extracting(MongoCompressor::getName).containsExactly("snappy");
+        assertThat(settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS)).isEqualTo(1500);
+    }
+
+    @Test
+    void should_override_only_set_properties_given_connection_string_when_settings_are_customized() {
+        //GIVEN
+        final MongoClientProperties properties = new MongoClientProperties();
+        properties.getPool().setMaxSize(20);
+        final MongoClientSettings.Builder builder = MongoClientSettings.builder()
+            .applyConnectionString(new ConnectionString("mongodb://localhost/?maxPoolSize=7&readPreference=secondary"));
+
+        //WHEN
+        mongoClientConfiguration.mongoClientPropertiesCustomizer(properties, meterRegistry(null)).customize(builder);
+        final MongoClientSettings settings = builder.build();
+
+        //THEN
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(20);
+        assertThat(settings.getReadPreference()).isEqualTo(ReadPreference.secondary());
+    }
+
+    @Test
+    void should_throws_an_exception_given_unknown_compressor_when_customizer_is_created() {
+        //GIVEN
+        final MongoClientProperties properties = new MongoClientProperties();
+        properties.setCompressors(List.of("lz4"));
+
+        //WHEN
+        final Throwable throwable = catchThrowable(() ->
+            mongoClientConfiguration.mongoClientPropertiesCustomizer(properties, meterRegistry(null)));
+
+        //THEN
+        assertThat(throwable).isNotNull()
+            .isInstanceOf(EcommerceException.class);
+    }
+
+    @Test
+    void should_throws_an_exception_given_unknown_read_preference_when_customizer_is_created() {
+        //GIVEN
+        final MongoClientProperties properties = new MongoClientProperties();
+        properties.setReadPreference("anywhere");
+
+        //WHEN
+        final Throwable throwable = catchThrowable(() ->
+            mongoClientConfiguration.mongoClientPropertiesCustomizer(properties, meterRegistry(null)));
+
+        //THEN
+        assertThat(throwable).isNotNull()
+            .isInstanceOf(EcommerceException.class);
+    }
+
+    private static ObjectProvider<MeterRegistry> meterRegistry(final MeterRegistry meterRegistry) {
+        final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (meterRegistry != null) {
+            beanFactory.addBean("meterRegistry", meterRegistry);
+        }
+        return beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.ivan.test.ecommerce.loadtest;
+
+import com.ivan.test.ecommerce.infrastructure.data.mongo.model.ProductEntity;
+import com.ivan.test.ecommerce.infrastructure.data.mongo.model.SizeEntity;
+import com.ivan.test.ecommerce.infrastructure.data.mongo.model.StockEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Generates a synthetic catalog of products, sizes and stock rows in batches so that millions of rows
+ * can be produced without holding the whole catalog in memory.
+ * Every distribution is configurable through {@code loadtest.*} system properties.
+ * Out of stock products get no stock, backSoon or special size, so they are never visible. Every other product
+ * with at least one size is visible, which makes the visible list size products with sizes times
+ * {@code 1 - outOfStockProductShare}.
+ */
+public class CatalogGenerator {
+
+    private final int products;
+    private final int minSizesPerProduct;
+    private final int maxSizesPerProduct;
+    private final double outOfStockProductShare;
+    private final double backSoonShare;
+    private final double specialShare;
+    private final int maxQuantity;
+    private final Random random;
+
+    public CatalogGenerator(final int products, final int minSizesPerProduct, final int maxSizesPerProduct,
+                            final double outOfStockProductShare, final double backSoonShare, final double specialShare,
+                            final int maxQuantity, final long seed) {
+        if (products < 0 || minSizesPerProduct < 0 || maxSizesPerProduct < minSizesPerProduct || maxQuantity < 1) {
+            throw new IllegalArgumentException("Invalid catalog generator configuration");
+        }
+        if (!isShare(outOfStockProductShare) || !isShare(backSoonShare) || !isShare(specialShare)) {
+            throw new IllegalArgumentException("Catalog generator shares must be between 0 and 1");
+        }
+        this.products = products;
+        this.minSizesPerProduct = minSizesPerProduct;
+        this.maxSizesPerProduct = maxSizesPerProduct;
+        this.outOfStockProductShare = outOfStockProductShare;
+        this.backSoonShare = backSoonShare;
+        this.specialShare = specialShare;
+        this.maxQuantity = maxQuantity;
+        this.random = new Random(seed);
+    }
+
+    public static CatalogGenerator fromSystemProperties() {
+        return new CatalogGenerator(
+            Integer.getInteger("loadtest.products", 2_000),
+            Integer.getInteger("loadtest.minSizesPerProduct", 1),
+            Integer.getInteger("loadtest.maxSizesPerProduct", 6),
+            Double.parseDouble(System.getProperty("loadtest.outOfStockProductShare", "0.3")),
+            Double.parseDouble(System.getProperty("loadtest.backSoonShare", "0.1")),
+            Double.parseDouble(System.getProperty("loadtest.specialShare", "0.05")),
+            Integer.getInteger("loadtest.maxQuantity", 50),
+            Long.getLong("loadtest.seed", 42L));
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public void generate(final int batchSize, final Consumer<CatalogBatch> consumer) {
+        final int[] positions = shuffledPositions();
+        int sizeId = 1;
+        CatalogBatch batch = new CatalogBatch();
+        for (int productId = 1; productId <= products; productId++) {
+            batch.products.add(ProductEntity.builder()
+                .productId(productId)
+                .position(positions[productId - 1])
+                .build());
+
+            final boolean outOfStock = random.nextDouble() < outOfStockProductShare;
+            final int sizes = minSizesPerProduct + random.nextInt(maxSizesPerProduct - minSizesPerProduct + 1);
+            for (int i = 0; i < sizes; i++, sizeId++) {
+                // the first size of an available product is a regular size, a lone special size hides the product
+                batch.sizes.add(SizeEntity.builder()
+                    .sizeId(sizeId)
+                    .productId(productId)
+                    .backSoon(!outOfStock && random.nextDouble() < backSoonShare)
+                    .special(!outOfStock && i > 0 && random.nextDouble() < specialShare)
+                    .build());
+                batch.stocks.add(StockEntity.builder()
+                    .sizeId(sizeId)
+                    .quantity(outOfStock ? 0 : 1 + random.nextInt(maxQuantity))
+                    .build());
+            }
+
+            if (batch.products.size() == batchSize) {
+                consumer.accept(batch);
+                batch = new CatalogBatch();
+            }
+        }
+        if (!batch.products.isEmpty()) {
+            consumer.accept(batch);
+        }
+    }
+
+    private static boolean isShare(final double share) {
+        return share >= 0 && share <= 1;
+    }
+
+    private int[] shuffledPositions() {
+        final int[] positions = new int[products];
+        for (int i = 0; i < products; i++) {
+            positions[i] = i;
+        }
+        for (int i = products - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int position = positions[i];
+            positions[i] = positions[j];
+            positions[j] = position;
+        }
+        return positions;
+    }
+
+    public static class CatalogBatch {
+        private final List<ProductEntity> products = new ArrayList<>();
+        private final List<SizeEntity> sizes = new ArrayList<>();
+        private final List<StockEntity> stocks = new ArrayList<>();
+
+        public List<ProductEntity> getProducts() {
+            return products;
+        }
+
+        public List<SizeEntity> getSizes() {
+            return sizes;
+        }
+
+        public List<StockEntity> getStocks() {
+            return stocks;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ivan.test.ecommerce.loadtest;
+
+import com.ivan.test.ecommerce.infrastructure.data.mongo.model.ProductEntity;
+import com.ivan.test.ecommerce.infrastructure.data.mongo.model.SizeEntity;
+import com.ivan.test.ecommerce.infrastructure.data.mongo.model.StockEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class CatalogGeneratorTest {
+
+    private static final long SEED = 7L;
+
+    @Test
+    void should_generate_same_catalog_given_same_seed_when_generated_twice() {
+        //GIVEN
+        final CatalogGenerator firstGenerator = new CatalogGenerator(50, 1, 4, 0.3, 0.1, 0.05, 20, SEED);
+        final CatalogGenerator secondGenerator = new CatalogGenerator(50, 1, 4, 0.3, 0.1, 0.05, 20, SEED);
+
+        //WHEN
+        final List<CatalogGenerator.CatalogBatch> first = generate(firstGenerator, 50);
+        final List<CatalogGenerator.CatalogBatch> second = generate(secondGenerator, 50);
+
+        //THEN
+        assertThat(first).hasSize(1);
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0).getProducts()).isEqualTo(first.get(0).getProducts());
+        assertThat(second.get(0).getSizes()).isEqualTo(first.get(0).getSizes());
+        assertThat(second.get(0).getStocks()).isEqualTo(first.get(0).getStocks());
+    }
+
+    @Test
+    void should_generate_sizes_within_bounds_given_min_and_max_sizes_per_product() {
+        //GIVEN
+        final CatalogGenerator catalogGenerator = new CatalogGenerator(200, 2, 5, 0.3, 0.1, 0.05, 20, SEED);
+
+        //WHEN
+        final List<CatalogGenerator.CatalogBatch> batches = generate(catalogGenerator, 200);
+
+        //THEN
+        final List<SizeEntity> sizes = batches.get(0).getSizes();
+        final Map<Integer, Long> sizesPerProduct = sizes.stream()
+            .collect(Collectors.groupingBy(SizeEntity::getProductId, Collectors.counting()));
+        assertThat(sizesPerProduct).hasSize(200);
+        assertThat(sizesPerProduct.values()).allSatisfy(count -> assertThat(count).isBetween(2L, 5L));
+        assertThat(batches.get(0).getStocks()).extracting(StockEntity::getSizeId)
+            .containsExactlyElementsOf(sizes.stream().map(SizeEntity::getSizeId).collect(Collectors.toList()));
+        assertThat(batches.get(0).getProducts()).extracting(ProductEntity::getPosition)
+            .doesNotHaveDuplicates().allSatisfy(position -> assertThat(position).isBetween(0, 199));
+    }
+
+    @Test
+    void should_leave_share_of_products_without_available_sizes_given_out_of_stock_product_share() {
+        //GIVEN
+        final CatalogGenerator catalogGenerator = new CatalogGenerator(2_000, 1, 6, 0.3, 0.5, 0.5, 20, SEED);
+
+        //WHEN
+        final CatalogGenerator.CatalogBatch batch = generate(catalogGenerator, 2_000).get(0);
+
+        //THEN
+        final Map<Integer, Integer> quantityBySizeId = batch.getStocks().stream()
+            .collect(Collectors.toMap(StockEntity::getSizeId, StockEntity::getQuantity));
+        final Map<Integer, List<SizeEntity>> sizesByProductId = batch.getSizes().stream()
+            .collect(Collectors.groupingBy(SizeEntity::getProductId));
+        final List<List<SizeEntity>> outOfStockProducts = sizesByProductId.values().stream()
+            .filter(sizes -> sizes.stream().allMatch(size -> quantityBySizeId.get(size.getSizeId()) == 0))
+            .collect(Collectors.toList());
+        assertThat(outOfStockProducts.size()).isBetween(500, 700);
+        assertThat(outOfStockProducts).allSatisfy(sizes -> assertThat(sizes)
+            .noneMatch(SizeEntity::getBackSoon)
+            .noneMatch(SizeEntity::getSpecial));
+        assertThat(sizesByProductId.values()).filteredOn(sizes -> !outOfStockProducts.contains(sizes))
+            .allSatisfy(sizes -> {
+                assertThat(sizes.get(0).getSpecial()).isFalse();
+                assertThat(sizes).allMatch(size -> quantityBySizeId.get(size.getSizeId()) > 0);
+            });
+    }
+
+    @Test
+    void should_split_catalog_in_batches_given_batch_size_when_products_do_not_fit_in_one_batch() {
+        //GIVEN
+        final CatalogGenerator catalogGenerator = new CatalogGenerator(25, 0, 3, 0.3, 0.1, 0.05, 20, SEED);
+
+        //WHEN
+        final List<CatalogGenerator.CatalogBatch> batches = generate(catalogGenerator, 10);
+
+        //THEN
+        assertThat(batches).extracting(batch -> batch.getProducts().size()).containsExactly(10, 10, 5);
+        assertThat(batches.get(2).getProducts()).extracting(ProductEntity::getProductId)
+            .containsExactly(21, 22, 23, 24, 25);
+    }
+
+    @Test
+    void should_throws_an_exception_given_share_when_it_is_out_of_range() {
+        //GIVEN
+        //WHEN
+        final Throwable negativeShare = catchThrowable(() -> new CatalogGenerator(10, 0, 3, -0.1, 0.1, 0.05, 20, SEED));
+        final Throwable greaterThanOneShare = catchThrowable(() -> new CatalogGenerator(10, 0, 3, 0.3, 1.5, 0.05, 20, SEED));
+        final Throwable notANumberShare = catchThrowable(() -> new CatalogGenerator(10, 0, 3, 0.3, 0.1, Double.NaN, 20, SEED));
+
+        //THEN
+        assertThat(negativeShare).isInstanceOf(IllegalArgumentException.class);
+        assertThat(greaterThanOneShare).isInstanceOf(IllegalArgumentException.class);
+        assertThat(notANumberShare).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<CatalogGenerator.CatalogBatch> generate(final CatalogGenerator catalogGenerator, final int batchSize) {
+        final List<CatalogGenerator.CatalogBatch> batches = new ArrayList<>();
+        catalogGenerator.generate(batchSize, batches::add);
+        return batches;
+    }
+}
@@ -0,0 +1,151 @@
+package com.ivan.test.ecommerce.loadtest;
+
+import com.ivan.test.ecommerce.application.GetProductsWithStock;
+import com.ivan.test.ecommerce.infrastructure.data.mongo.ProductMongoRepository;
+import com.ivan.test.ecommerce.infrastructure.data.mongo.SizeMongoRepository;
+import com.ivan.test.ecommerce.infrastructure.data.mongo.StockMongoRepository;
+import com.ivan.test.ecommerce.infrastructure.data.mongo.model.SizeEntity;
+import com.ivan.test.ecommerce.infrastructure.data.mongo.model.StockEntity;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads a generated catalog into embedded Mongo and drives concurrent {@link GetProductsWithStock} calls.
+ * Excluded from the default test task, run it with {@code ./gradlew loadTest -Dloadtest.products=1000000}.
+ */
+@Tag("load")
+@SpringBootTest(properties = {"spring.mongodb.embedded.version=3.4.24"})
+class GetProductsWithStockLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(GetProductsWithStockLoadTest.class);
+
+    private static final int BATCH_SIZE = Integer.getInteger("loadtest.batchSize", 5_000);
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 8);
+    private static final int WARMUP_CALLS = Integer.getInteger("loadtest.warmupCalls", 5);
+    private static final int CALLS_PER_THREAD = Integer.getInteger("loadtest.callsPerThread", 125);
+    private static final int MIN_SAMPLES_FOR_P999 = 1_000;
+    /**
+     * The application does not declare indexes, so by default the catalog is loaded without them as in production.
+     */
+    private static final boolean CREATE_INDEXES = Boolean.getBoolean("loadtest.createIndexes");
+
+    @Autowired
+    private ProductMongoRepository productMongoRepository;
+    @Autowired
+    private SizeMongoRepository sizeMongoRepository;
+    @Autowired
+    private StockMongoRepository stockMongoRepository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private GetProductsWithStock getProductsWithStock;
+
+    @Test
+    void should_report_throughput_and_latency_given_generated_catalog_when_get_products_is_called_concurrently()
+            throws Exception {
+        //GIVEN
+        loadCatalog(CatalogGenerator.fromSystemProperties());
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            getProductsWithStock.get();
+        }
+
+        //WHEN
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<long[]>> futures = new ArrayList<>();
+        final long start = System.nanoTime();
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(this::callGetProducts));
+            }
+            final long[] latencies = collectLatencies(futures);
+            final long elapsed = System.nanoTime() - start;
+
+            //THEN
+            report(latencies, elapsed);
+            assertThat(latencies).hasSize(THREADS * CALLS_PER_THREAD);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void loadCatalog(final CatalogGenerator catalogGenerator) {
+        productMongoRepository.deleteAll();
+        sizeMongoRepository.deleteAll();
+        stockMongoRepository.deleteAll();
+        if (CREATE_INDEXES) {
+            mongoTemplate.indexOps(SizeEntity.class).ensureIndex(new Index().on("productId", Sort.Direction.ASC));
+            mongoTemplate.indexOps(StockEntity.class).ensureIndex(new Index().on("sizeId", Sort.Direction.ASC));
+        }
+        log.info("Loading catalog {} size.productId and stock.sizeId indexes", CREATE_INDEXES ? "with" : "without");
+
+        final long start = System.nanoTime();
+        catalogGenerator.generate(BATCH_SIZE, batch -> {
+            mongoTemplate.insertAll(batch.getProducts());
+            mongoTemplate.insertAll(batch.getSizes());
+            mongoTemplate.insertAll(batch.getStocks());
+        });
+        log.info("Loaded {} products, {} sizes and {} stocks in {} ms", productMongoRepository.count(),
+            sizeMongoRepository.count(), stockMongoRepository.count(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long[] callGetProducts() {
+        final long[] latencies = new long[CALLS_PER_THREAD];
+        for (int i = 0; i < CALLS_PER_THREAD; i++) {
+            final long start = System.nanoTime();
+            getProductsWithStock.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static long[] collectLatencies(final List<Future<long[]>> futures) throws Exception {
+        final long[] latencies = new long[futures.size() * CALLS_PER_THREAD];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            final long[] threadLatencies = future.get();
+            System.arraycopy(threadLatencies, 0, latencies, offset, threadLatencies.length);
+            offset += threadLatencies.length;
+        }
+        return latencies;
+    }
+
+    private static void report(final long[] latencies, final long elapsed) {
+        Arrays.sort(latencies);
+        if (latencies.length < MIN_SAMPLES_FOR_P999) {
+            log.warn("Only {} samples, p999 needs at least {} and is not reported", latencies.length, MIN_SAMPLES_FOR_P999);
+        }
+        log.info("indexes={} threads={} calls={} throughput={} calls/s p50={} ms p99={} ms p999={} ms max={} ms",
+            CREATE_INDEXES, THREADS, latencies.length,
+            String.format("%.2f", latencies.length / (elapsed / 1_000_000_000d)),
+            toMillis(percentile(latencies, 0.50)),
+            toMillis(percentile(latencies, 0.99)),
+            latencies.length < MIN_SAMPLES_FOR_P999 ? "n/a" : toMillis(percentile(latencies, 0.999)),
+            toMillis(latencies[latencies.length - 1]));
+    }
+
+    private static long percentile(final long[] sortedLatencies, final double percentile) {
+        final int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+    }
+
+    private static String toMillis(final long nanos) {
+        return String.format("%.3f", nanos / 1_000_000d);
+    }
+}